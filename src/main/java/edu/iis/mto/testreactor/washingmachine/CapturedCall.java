@@ -0,0 +1,80 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+
+public class CapturedCall {
+
+    public enum Operation {
+        DETECT_DIRT,
+        POUR,
+        RUN_WASHING,
+        RELEASE,
+        SPIN
+    }
+
+    public enum Outcome {
+        COMPLETED,
+        FAILED,
+        CRASHED
+    }
+
+    private final Operation operation;
+    private final Outcome outcome;
+    private final long durationNanos;
+    private final Percentage dirtDegree;
+
+    public CapturedCall(Operation operation, Outcome outcome, long durationNanos, Percentage dirtDegree) {
+        this.operation = requireNonNull(operation, "operation == null");
+        this.outcome = requireNonNull(outcome, "outcome == null");
+        if (durationNanos < 0) {
+            throw new IllegalArgumentException("durationNanos must not be negative");
+        }
+        this.durationNanos = durationNanos;
+        this.dirtDegree = dirtDegree;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Percentage getDirtDegree() {
+        return dirtDegree;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, outcome, durationNanos, dirtDegree);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        CapturedCall other = (CapturedCall) obj;
+        return operation == other.operation && outcome == other.outcome && durationNanos == other.durationNanos
+               && Objects.equals(dirtDegree, other.dirtDegree);
+    }
+
+    @Override
+    public String toString() {
+        return "CapturedCall [operation=" + operation + ", outcome=" + outcome + ", durationNanos=" + durationNanos + "]";
+    }
+
+}
@@ -0,0 +1,83 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+public class CapturedCycle {
+
+    public static final Comparator<CapturedCycle> BY_ARRIVAL = Comparator.comparingLong(CapturedCycle::getOffsetNanos);
+
+    private final long offsetNanos;
+    private final long durationNanos;
+    private final LaundryBatch laundryBatch;
+    private final ProgramConfiguration programConfiguration;
+    private final LaundryStatus laundryStatus;
+    private final List<CapturedCall> calls;
+
+    public CapturedCycle(long offsetNanos, long durationNanos, LaundryBatch laundryBatch,
+            ProgramConfiguration programConfiguration, LaundryStatus laundryStatus, List<CapturedCall> calls) {
+        this.offsetNanos = offsetNanos;
+        this.durationNanos = durationNanos;
+        this.laundryBatch = requireNonNull(laundryBatch, "laundryBatch == null");
+        this.programConfiguration = requireNonNull(programConfiguration, "programConfiguration == null");
+        this.laundryStatus = requireNonNull(laundryStatus, "laundryStatus == null");
+        this.calls = Collections.unmodifiableList(requireNonNull(calls, "calls == null"));
+    }
+
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public LaundryBatch getLaundryBatch() {
+        return laundryBatch;
+    }
+
+    public ProgramConfiguration getProgramConfiguration() {
+        return programConfiguration;
+    }
+
+    public LaundryStatus getLaundryStatus() {
+        return laundryStatus;
+    }
+
+    public List<CapturedCall> getCalls() {
+        return calls;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offsetNanos, durationNanos, laundryBatch, programConfiguration, laundryStatus, calls);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        CapturedCycle other = (CapturedCycle) obj;
+        return offsetNanos == other.offsetNanos && durationNanos == other.durationNanos
+               && laundryBatch.equals(other.laundryBatch) && programConfiguration.equals(other.programConfiguration)
+               && laundryStatus.equals(other.laundryStatus) && calls.equals(other.calls);
+    }
+
+    @Override
+    public String toString() {
+        return "CapturedCycle [offsetNanos=" + offsetNanos + ", laundryBatch=" + laundryBatch + ", programConfiguration="
+               + programConfiguration + ", laundryStatus=" + laundryStatus + ", calls=" + calls + "]";
+    }
+
+}
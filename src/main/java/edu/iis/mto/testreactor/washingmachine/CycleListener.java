@@ -0,0 +1,9 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+public interface CycleListener {
+
+    CycleListener NONE = (laundryBatch, programConfiguration, laundryStatus) -> {};
+
+    void cycleFinished(LaundryBatch laundryBatch, ProgramConfiguration programConfiguration, LaundryStatus laundryStatus);
+
+}
@@ -0,0 +1,176 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CycleStatistics implements CycleListener {
+
+    public static final Duration MAX_WINDOW = Duration.ofMinutes(60);
+
+    private static final int BUCKETS = (int) MAX_WINDOW.getSeconds();
+    private static final int MAX_STRIPES = 8;
+    private static final int TOTAL = 0;
+    private static final int ERROR_CODES = TOTAL + 1;
+    private static final int PROGRAMS = ERROR_CODES + ErrorCode.values().length;
+    private static final int OVERWEIGHT = PROGRAMS + Program.values().length;
+    private static final int STRIDE = OVERWEIGHT + Material.values().length;
+    private static final long UNUSED = Long.MIN_VALUE;
+    private static final long CLAIMING = Long.MIN_VALUE + 1;
+
+    private final Clock clock;
+    private final int stripes;
+    private final AtomicLongArray bucketSeconds;
+    private final AtomicLongArray counters;
+    private final LongAdder droppedUpdates = new LongAdder();
+
+    public CycleStatistics() {
+        this(Clock.systemUTC());
+    }
+
+    public CycleStatistics(Clock clock) {
+        this.clock = requireNonNull(clock, "clock == null");
+        this.stripes = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1), MAX_STRIPES);
+        this.bucketSeconds = new AtomicLongArray(stripes * BUCKETS);
+        this.counters = new AtomicLongArray(stripes * BUCKETS * STRIDE);
+        for (int i = 0; i < bucketSeconds.length(); i++) {
+            bucketSeconds.set(i, UNUSED);
+        }
+    }
+
+    @Override
+    public void cycleFinished(LaundryBatch laundryBatch, ProgramConfiguration programConfiguration, LaundryStatus laundryStatus) {
+        int base = claimBucket(currentStripe(), currentSecond());
+        if (base < 0) {
+            return;
+        }
+        counters.incrementAndGet(base + TOTAL);
+        ErrorCode errorCode = laundryStatus.getErrorCode();
+        if (errorCode != null) {
+            counters.incrementAndGet(base + ERROR_CODES + errorCode.ordinal());
+        }
+        Program program = laundryStatus.getRunnedProgram();
+        if (program != null) {
+            counters.incrementAndGet(base + PROGRAMS + program.ordinal());
+        }
+        if (errorCode == ErrorCode.TOO_HEAVY) {
+            counters.incrementAndGet(base + OVERWEIGHT + laundryBatch.getMaterialType().ordinal());
+        }
+    }
+
+    /**
+     * Number of outcomes discarded because the clock stepped back behind a second already reused for newer outcomes.
+     */
+    public long getDroppedUpdates() {
+        return droppedUpdates.sum();
+    }
+
+    public Snapshot snapshot(Duration window) {
+        long seconds = requireNonNull(window, "window == null").getSeconds();
+        if (seconds < 1 || seconds > BUCKETS) {
+            throw new IllegalArgumentException("window must be in range <1s," + MAX_WINDOW.toMinutes() + "min>");
+        }
+        long now = currentSecond();
+        long[] totals = new long[STRIDE];
+        long[] bucket = new long[STRIDE];
+        for (long second = now - seconds + 1; second <= now; second++) {
+            int slot = slot(second);
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                if (readBucket(stripe * BUCKETS + slot, second, bucket)) {
+                    for (int i = 0; i < STRIDE; i++) {
+                        totals[i] += bucket[i];
+                    }
+                }
+            }
+        }
+        return new Snapshot(totals);
+    }
+
+    private long currentSecond() {
+        return Math.floorDiv(clock.millis(), 1000L);
+    }
+
+    private int currentStripe() {
+        return (int) Thread.currentThread().getId() & (stripes - 1);
+    }
+
+    private static int slot(long second) {
+        return (int) Math.floorMod(second, (long) BUCKETS);
+    }
+
+    private int claimBucket(int stripe, long second) {
+        int bucket = stripe * BUCKETS + slot(second);
+        int base = bucket * STRIDE;
+        while (true) {
+            long stamp = bucketSeconds.get(bucket);
+            if (stamp == second) {
+                return base;
+            }
+            if (stamp == CLAIMING) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (stamp > second) {
+                droppedUpdates.increment();
+                return -1;
+            }
+            if (bucketSeconds.compareAndSet(bucket, stamp, CLAIMING)) {
+                for (int i = 0; i < STRIDE; i++) {
+                    counters.set(base + i, 0);
+                }
+                bucketSeconds.set(bucket, second);
+                return base;
+            }
+        }
+    }
+
+    private boolean readBucket(int bucket, long second, long[] values) {
+        if (bucketSeconds.get(bucket) != second) {
+            return false;
+        }
+        int base = bucket * STRIDE;
+        for (int i = 0; i < STRIDE; i++) {
+            values[i] = counters.get(base + i);
+        }
+        return bucketSeconds.get(bucket) == second;
+    }
+
+    public static final class Snapshot {
+
+        private final long[] totals;
+
+        private Snapshot(long[] totals) {
+            this.totals = totals;
+        }
+
+        public long total() {
+            return totals[TOTAL];
+        }
+
+        public long count(ErrorCode errorCode) {
+            return totals[ERROR_CODES + requireNonNull(errorCode, "errorCode == null").ordinal()];
+        }
+
+        public double rate(ErrorCode errorCode) {
+            long total = total();
+            return total == 0 ? 0.0d : (double) count(errorCode) / total;
+        }
+
+        public long count(Program program) {
+            return totals[PROGRAMS + requireNonNull(program, "program == null").ordinal()];
+        }
+
+        public long overweight(Material material) {
+            return totals[OVERWEIGHT + requireNonNull(material, "material == null").ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot [total=" + total() + ", failures=" + (total() - count(ErrorCode.NO_ERROR)) + "]";
+        }
+    }
+
+}
@@ -2,6 +2,8 @@ package edu.iis.mto.testreactor.washingmachine;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Objects;
+
 public class LaundryBatch {
 
     private final double weightKg;
@@ -20,6 +22,26 @@ public class LaundryBatch {
         return materialType;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(materialType, weightKg);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        LaundryBatch other = (LaundryBatch) obj;
+        return materialType == other.materialType && Double.doubleToLongBits(weightKg) == Double.doubleToLongBits(other.weightKg);
+    }
+
     @Override
     public String toString() {
         return "LaundryBatch [weightKg=" + weightKg + ", materialType=" + materialType + "]";
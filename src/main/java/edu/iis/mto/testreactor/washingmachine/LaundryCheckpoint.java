@@ -0,0 +1,301 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Pending jobs stored as fixed-size records after a magic number and version header. A full {@link #write} stores
+ * queued jobs only; {@link #append} adds queued jobs and removal records for dequeued job ids, which
+ * {@link #restore} applies in order. Records are framed in blocks carrying their record count and a CRC32, and each
+ * append is a single block, so {@link #restore} applies whole increments only: everything from the first incomplete
+ * or damaged block onwards is ignored and truncated by the next append.
+ */
+public class LaundryCheckpoint {
+
+    private static final int MAGIC = 0x4C4E4452;
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int BLOCK_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int RECORD_SIZE = 1 + Long.BYTES + Double.BYTES + 3;
+    private static final byte QUEUED = 1;
+    private static final byte DEQUEUED = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_WINDOW_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+    private static final Material[] MATERIALS = Material.values();
+    private static final Program[] PROGRAMS = Program.values();
+
+    private final Path path;
+    private final long windowSize;
+
+    public LaundryCheckpoint(Path path) {
+        this(path, MAX_WINDOW_RECORDS);
+    }
+
+    /**
+     * Blocks are mapped in windows of at most {@code windowRecords} records, as a single mapping cannot exceed
+     * {@link Integer#MAX_VALUE} bytes.
+     */
+    LaundryCheckpoint(Path path, int windowRecords) {
+        this.path = requireNonNull(path, "path == null");
+        if (windowRecords < 1 || windowRecords > MAX_WINDOW_RECORDS) {
+            throw new IllegalArgumentException("windowRecords must be between 1 and " + MAX_WINDOW_RECORDS);
+        }
+        this.windowSize = (long) windowRecords * RECORD_SIZE;
+    }
+
+    public void write(Collection<LaundryJob> jobs) throws IOException {
+        requireNonNull(jobs, "jobs == null");
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeHeader(channel);
+                writeBlock(channel, HEADER_SIZE, jobs, Collections.emptyList());
+                channel.force(false);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        forceDirectory();
+    }
+
+    public void append(Collection<LaundryJob> queued, Collection<Long> dequeuedIds) throws IOException {
+        requireNonNull(queued, "queued == null");
+        requireNonNull(dequeuedIds, "dequeuedIds == null");
+        if (!Files.exists(path)) {
+            write(queued);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            validateHeader(channel, size);
+            long end = readBlocks(channel, size, null, null);
+            channel.truncate(end);
+            writeBlock(channel, end, queued, dequeuedIds);
+            channel.force(false);
+        }
+    }
+
+    public List<LaundryJob> restore() throws IOException {
+        if (!Files.exists(path)) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            validateHeader(channel, size);
+            List<LaundryJob> jobs = new ArrayList<>();
+            Map<Long, Integer> dequeuedAt = new HashMap<>();
+            readBlocks(channel, size, jobs, dequeuedAt);
+            return dequeuedAt.isEmpty() ? jobs : withoutDequeued(jobs, dequeuedAt);
+        }
+    }
+
+    private void forceDirectory() throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        writeFully(channel, header);
+    }
+
+    private void validateHeader(FileChannel channel, long size) throws IOException {
+        if (size < HEADER_SIZE) {
+            throw new IOException("checkpoint header missing: " + path);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("checkpoint header missing: " + path);
+            }
+        }
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("unsupported checkpoint format: " + path);
+        }
+    }
+
+    private void writeBlock(FileChannel channel, long position, Collection<LaundryJob> queued, Collection<Long> dequeuedIds)
+            throws IOException {
+        long records = (long) queued.size() + dequeuedIds.size();
+        if (records == 0) {
+            return;
+        }
+        if (records > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("more than " + Integer.MAX_VALUE + " records in one checkpoint block");
+        }
+        int count = (int) records;
+        CRC32 checksum = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE - BUFFER_SIZE % RECORD_SIZE);
+        channel.position(position + BLOCK_HEADER_SIZE);
+        for (LaundryJob job : queued) {
+            flushIfFull(channel, buffer, checksum);
+            writeQueued(buffer, job);
+        }
+        for (long id : dequeuedIds) {
+            flushIfFull(channel, buffer, checksum);
+            writeDequeued(buffer, id);
+        }
+        flush(channel, buffer, checksum);
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+        header.putInt(count).putInt(blockChecksum(checksum, count)).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, position + header.position());
+        }
+    }
+
+    private void flushIfFull(FileChannel channel, ByteBuffer buffer, CRC32 checksum) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush(channel, buffer, checksum);
+        }
+    }
+
+    private void flush(FileChannel channel, ByteBuffer buffer, CRC32 checksum) throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static int blockChecksum(CRC32 recordsChecksum, int count) {
+        recordsChecksum.update(ByteBuffer.allocate(Integer.BYTES).putInt(count).flip());
+        return (int) recordsChecksum.getValue();
+    }
+
+    /**
+     * Reads complete, checksum-valid blocks, decoding them into {@code jobs} when it is not {@code null}, and returns
+     * the position where the valid part of the checkpoint ends.
+     */
+    private long readBlocks(FileChannel channel, long size, List<LaundryJob> jobs, Map<Long, Integer> dequeuedAt)
+            throws IOException {
+        long position = HEADER_SIZE;
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+        while (size - position >= BLOCK_HEADER_SIZE) {
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.read(header, position + header.position());
+            }
+            header.flip();
+            int count = header.getInt();
+            int expectedChecksum = header.getInt();
+            long length = (long) count * RECORD_SIZE;
+            if (count <= 0 || length > size - position - BLOCK_HEADER_SIZE) {
+                break;
+            }
+            long start = position + BLOCK_HEADER_SIZE;
+            CRC32 checksum = new CRC32();
+            for (long offset = 0; offset < length; offset += windowSize) {
+                checksum.update(map(channel, start + offset, length - offset));
+            }
+            if (blockChecksum(checksum, count) != expectedChecksum) {
+                break;
+            }
+            if (jobs != null) {
+                for (long offset = 0; offset < length; offset += windowSize) {
+                    MappedByteBuffer records = map(channel, start + offset, length - offset);
+                    while (records.hasRemaining()) {
+                        readRecord(records, jobs, dequeuedAt);
+                    }
+                }
+            }
+            position += BLOCK_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long position, long remaining) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(remaining, windowSize));
+    }
+
+    private void writeQueued(ByteBuffer buffer, LaundryJob job) {
+        LaundryBatch laundryBatch = job.getLaundryBatch();
+        ProgramConfiguration programConfiguration = job.getProgramConfiguration();
+        buffer.put(QUEUED)
+              .putLong(job.getId())
+              .putDouble(laundryBatch.getWeightKg())
+              .put((byte) laundryBatch.getMaterialType().ordinal())
+              .put((byte) programConfiguration.getProgram().ordinal())
+              .put((byte) (programConfiguration.isSpin() ? 1 : 0));
+    }
+
+    private void writeDequeued(ByteBuffer buffer, long id) {
+        buffer.put(DEQUEUED)
+              .putLong(id)
+              .putDouble(0.0d)
+              .put((byte) 0)
+              .put((byte) 0)
+              .put((byte) 0);
+    }
+
+    private List<LaundryJob> withoutDequeued(List<LaundryJob> jobs, Map<Long, Integer> dequeuedAt) {
+        List<LaundryJob> pending = new ArrayList<>(jobs.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            LaundryJob job = jobs.get(i);
+            Integer position = dequeuedAt.get(job.getId());
+            if (position == null || position <= i) {
+                pending.add(job);
+            }
+        }
+        return pending;
+    }
+
+    private void readRecord(ByteBuffer buffer, List<LaundryJob> jobs, Map<Long, Integer> dequeuedAt) throws IOException {
+        byte type = buffer.get();
+        long id = buffer.getLong();
+        double weightKg = buffer.getDouble();
+        int material = buffer.get();
+        int program = buffer.get();
+        boolean spin = buffer.get() != 0;
+        if (type == DEQUEUED) {
+            dequeuedAt.put(id, jobs.size());
+            return;
+        }
+        if (type != QUEUED || material < 0 || material >= MATERIALS.length || program < 0 || program >= PROGRAMS.length) {
+            throw new IOException("corrupted checkpoint record: " + path);
+        }
+        LaundryJob job = LaundryJob.builder()
+                                   .withId(id)
+                                   .withLaundryBatch(LaundryBatch.builder()
+                                                                 .withWeightKg(weightKg)
+                                                                 .withMaterialType(MATERIALS[material])
+                                                                 .build())
+                                   .withProgramConfiguration(ProgramConfiguration.builder()
+                                                                                 .withProgram(PROGRAMS[program])
+                                                                                 .withSpin(spin)
+                                                                                 .build())
+                                   .build();
+        jobs.add(job);
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+}
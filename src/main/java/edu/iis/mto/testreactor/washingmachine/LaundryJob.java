@@ -0,0 +1,88 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+
+public class LaundryJob {
+
+    private final long id;
+    private final LaundryBatch laundryBatch;
+    private final ProgramConfiguration programConfiguration;
+
+    private LaundryJob(Builder builder) {
+        this.id = builder.id;
+        this.laundryBatch = requireNonNull(builder.laundryBatch, "laundryBatch == null");
+        this.programConfiguration = requireNonNull(builder.programConfiguration, "programConfiguration == null");
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LaundryBatch getLaundryBatch() {
+        return laundryBatch;
+    }
+
+    public ProgramConfiguration getProgramConfiguration() {
+        return programConfiguration;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, laundryBatch, programConfiguration);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        LaundryJob other = (LaundryJob) obj;
+        return id == other.id && laundryBatch.equals(other.laundryBatch) && programConfiguration.equals(other.programConfiguration);
+    }
+
+    @Override
+    public String toString() {
+        return "LaundryJob [id=" + id + ", laundryBatch=" + laundryBatch + ", programConfiguration=" + programConfiguration + "]";
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private long id;
+        private LaundryBatch laundryBatch;
+        private ProgramConfiguration programConfiguration;
+
+        private Builder() {}
+
+        public Builder withId(long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder withLaundryBatch(LaundryBatch laundryBatch) {
+            this.laundryBatch = laundryBatch;
+            return this;
+        }
+
+        public Builder withProgramConfiguration(ProgramConfiguration programConfiguration) {
+            this.programConfiguration = programConfiguration;
+            return this;
+        }
+
+        public LaundryJob build() {
+            return new LaundryJob(this);
+        }
+    }
+
+}
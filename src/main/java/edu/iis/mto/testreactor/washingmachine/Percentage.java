@@ -15,6 +15,10 @@ public class Percentage {
         this.value = value;
     }
 
+    public double getValue() {
+        return value;
+    }
+
     public boolean isGreaterThan(Percentage other) {
         return requireNonNull(other, "other == null").value < this.value;
     }
@@ -0,0 +1,72 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Outcome of a {@link WorkloadReplay}. Latency includes time queued for a worker and service time does not; when
+ * cycles are replayed as fast as possible only service time and throughput are meaningful.
+ */
+public class ReplayReport {
+
+    private final long elapsedNanos;
+    private final long[] sortedLatencies;
+    private final long[] sortedServiceTimes;
+    private final int divergedCycles;
+
+    ReplayReport(long elapsedNanos, long[] latencies, long[] serviceTimes, int divergedCycles) {
+        if (latencies.length != serviceTimes.length) {
+            throw new IllegalArgumentException("latencies and serviceTimes differ in length");
+        }
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatencies = latencies.clone();
+        this.sortedServiceTimes = serviceTimes.clone();
+        this.divergedCycles = divergedCycles;
+        Arrays.sort(sortedLatencies);
+        Arrays.sort(sortedServiceTimes);
+    }
+
+    public int getCycles() {
+        return sortedLatencies.length;
+    }
+
+    public int getDivergedCycles() {
+        return divergedCycles;
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0.0d : sortedLatencies.length * 1e9d / elapsedNanos;
+    }
+
+    public Duration latencyPercentile(double percentile) {
+        return percentile(sortedLatencies, percentile);
+    }
+
+    public Duration servicePercentile(double percentile) {
+        return percentile(sortedServiceTimes, percentile);
+    }
+
+    private static Duration percentile(long[] sortedNanos, double percentile) {
+        if (percentile <= 0.0d || percentile > 100.0d) {
+            throw new IllegalArgumentException("percentile must be in range (0,100>");
+        }
+        if (sortedNanos.length == 0) {
+            return Duration.ZERO;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0d * sortedNanos.length);
+        return Duration.ofNanos(sortedNanos[Math.max(rank, 1) - 1]);
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayReport [cycles=" + getCycles() + ", divergedCycles=" + divergedCycles + ", elapsed=" + getElapsed()
+               + ", throughputPerSecond=" + getThroughputPerSecond() + ", p50=" + latencyPercentile(50) + ", p99="
+               + latencyPercentile(99) + ", serviceP50=" + servicePercentile(50) + ", serviceP99=" + servicePercentile(99)
+               + "]";
+    }
+
+}
@@ -10,14 +10,34 @@ public class WashingMachine {
     private final DirtDetector dirtDetector;
     private final Engine engine;
     private final WaterPump waterPump;
+    private final CycleListener cycleListener;
 
     public WashingMachine(DirtDetector dirtDetector, Engine engine, WaterPump waterPump) {
+        this(dirtDetector, engine, waterPump, CycleListener.NONE);
+    }
+
+    public WashingMachine(DirtDetector dirtDetector, Engine engine, WaterPump waterPump, CycleListener cycleListener) {
         this.dirtDetector = requireNonNull(dirtDetector, "dirtDetector == null");
         this.engine = requireNonNull(engine, "engine == null");
         this.waterPump = requireNonNull(waterPump, "waterPump == null");
+        this.cycleListener = requireNonNull(cycleListener, "cycleListener == null");
     }
 
     public LaundryStatus start(LaundryBatch laundryBatch, ProgramConfiguration programConfiguration) {
+        LaundryStatus laundryStatus = runCycle(laundryBatch, programConfiguration);
+        notifyListener(laundryBatch, programConfiguration, laundryStatus);
+        return laundryStatus;
+    }
+
+    private void notifyListener(LaundryBatch laundryBatch, ProgramConfiguration programConfiguration, LaundryStatus laundryStatus) {
+        try {
+            cycleListener.cycleFinished(laundryBatch, programConfiguration, laundryStatus);
+        } catch (RuntimeException e) {
+            // a failing listener must not change the outcome of a finished cycle
+        }
+    }
+
+    private LaundryStatus runCycle(LaundryBatch laundryBatch, ProgramConfiguration programConfiguration) {
         if (overweight(laundryBatch)) {
             return error(ErrorCode.TOO_HEAVY, null);
         }
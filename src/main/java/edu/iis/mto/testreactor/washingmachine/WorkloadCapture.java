@@ -0,0 +1,199 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Operation;
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Outcome;
+
+/**
+ * Records every {@code start} call of the washing machines it creates together with the timing and outcome of
+ * each collaborator call, so the workload can later be re-executed by {@link WorkloadReplay}. At most
+ * {@code capacity} cycles are kept; later ones are only counted, and {@link WorkloadRecording} persists a capture.
+ */
+public class WorkloadCapture {
+
+    public static final int DEFAULT_CAPACITY = 1_000_000;
+
+    private final long startNanos = System.nanoTime();
+    private final int capacity;
+    private final AtomicLong startedCycles = new AtomicLong();
+    private final LongAdder droppedCycles = new LongAdder();
+    private final Queue<CapturedCycle> cycles = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<List<CapturedCall>> currentCalls = new ThreadLocal<>();
+
+    public WorkloadCapture() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public WorkloadCapture(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public WashingMachine washingMachine(DirtDetector dirtDetector, Engine engine, WaterPump waterPump) {
+        return washingMachine(dirtDetector, engine, waterPump, CycleListener.NONE);
+    }
+
+    public WashingMachine washingMachine(DirtDetector dirtDetector, Engine engine, WaterPump waterPump,
+            CycleListener cycleListener) {
+        return new CapturingWashingMachine(new CapturingDirtDetector(requireNonNull(dirtDetector, "dirtDetector == null")),
+                new CapturingEngine(requireNonNull(engine, "engine == null")),
+                new CapturingWaterPump(requireNonNull(waterPump, "waterPump == null")), cycleListener);
+    }
+
+    public List<CapturedCycle> cycles() {
+        List<CapturedCycle> captured = new ArrayList<>(cycles);
+        captured.sort(CapturedCycle.BY_ARRIVAL);
+        return captured;
+    }
+
+    public long getDroppedCycles() {
+        return droppedCycles.sum();
+    }
+
+    private void record(Operation operation, Outcome outcome, long beginNanos, Percentage dirtDegree) {
+        long durationNanos = System.nanoTime() - beginNanos;
+        List<CapturedCall> calls = currentCalls.get();
+        if (calls != null) {
+            calls.add(new CapturedCall(operation, outcome, durationNanos, dirtDegree));
+        }
+    }
+
+    private final class CapturingWashingMachine extends WashingMachine {
+
+        private CapturingWashingMachine(DirtDetector dirtDetector, Engine engine, WaterPump waterPump,
+                CycleListener cycleListener) {
+            super(dirtDetector, engine, waterPump, cycleListener);
+        }
+
+        @Override
+        public LaundryStatus start(LaundryBatch laundryBatch, ProgramConfiguration programConfiguration) {
+            if (startedCycles.incrementAndGet() > capacity) {
+                droppedCycles.increment();
+                return super.start(laundryBatch, programConfiguration);
+            }
+            List<CapturedCall> calls = new ArrayList<>(Operation.values().length);
+            long beginNanos = System.nanoTime();
+            LaundryStatus laundryStatus;
+            currentCalls.set(calls);
+            try {
+                laundryStatus = super.start(laundryBatch, programConfiguration);
+            } finally {
+                currentCalls.remove();
+            }
+            cycles.add(new CapturedCycle(beginNanos - startNanos, System.nanoTime() - beginNanos, laundryBatch,
+                    programConfiguration, laundryStatus, calls));
+            return laundryStatus;
+        }
+    }
+
+    private final class CapturingDirtDetector implements DirtDetector {
+
+        private final DirtDetector dirtDetector;
+
+        private CapturingDirtDetector(DirtDetector dirtDetector) {
+            this.dirtDetector = dirtDetector;
+        }
+
+        @Override
+        public Percentage detectDirtDegree(LaundryBatch laundryBatch) {
+            long beginNanos = System.nanoTime();
+            try {
+                Percentage dirtDegree = dirtDetector.detectDirtDegree(laundryBatch);
+                record(Operation.DETECT_DIRT, Outcome.COMPLETED, beginNanos, dirtDegree);
+                return dirtDegree;
+            } catch (RuntimeException e) {
+                record(Operation.DETECT_DIRT, Outcome.CRASHED, beginNanos, null);
+                throw e;
+            }
+        }
+    }
+
+    private final class CapturingEngine implements Engine {
+
+        private final Engine engine;
+
+        private CapturingEngine(Engine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public void runWashing(int timeInMinutes) throws EngineException {
+            long beginNanos = System.nanoTime();
+            try {
+                engine.runWashing(timeInMinutes);
+                record(Operation.RUN_WASHING, Outcome.COMPLETED, beginNanos, null);
+            } catch (EngineException e) {
+                record(Operation.RUN_WASHING, Outcome.FAILED, beginNanos, null);
+                throw e;
+            } catch (RuntimeException e) {
+                record(Operation.RUN_WASHING, Outcome.CRASHED, beginNanos, null);
+                throw e;
+            }
+        }
+
+        @Override
+        public void spin() throws EngineException {
+            long beginNanos = System.nanoTime();
+            try {
+                engine.spin();
+                record(Operation.SPIN, Outcome.COMPLETED, beginNanos, null);
+            } catch (EngineException e) {
+                record(Operation.SPIN, Outcome.FAILED, beginNanos, null);
+                throw e;
+            } catch (RuntimeException e) {
+                record(Operation.SPIN, Outcome.CRASHED, beginNanos, null);
+                throw e;
+            }
+        }
+    }
+
+    private final class CapturingWaterPump implements WaterPump {
+
+        private final WaterPump waterPump;
+
+        private CapturingWaterPump(WaterPump waterPump) {
+            this.waterPump = waterPump;
+        }
+
+        @Override
+        public void pour(double weigth) throws WaterPumpException {
+            long beginNanos = System.nanoTime();
+            try {
+                waterPump.pour(weigth);
+                record(Operation.POUR, Outcome.COMPLETED, beginNanos, null);
+            } catch (WaterPumpException e) {
+                record(Operation.POUR, Outcome.FAILED, beginNanos, null);
+                throw e;
+            } catch (RuntimeException e) {
+                record(Operation.POUR, Outcome.CRASHED, beginNanos, null);
+                throw e;
+            }
+        }
+
+        @Override
+        public void release() throws WaterPumpException {
+            long beginNanos = System.nanoTime();
+            try {
+                waterPump.release();
+                record(Operation.RELEASE, Outcome.COMPLETED, beginNanos, null);
+            } catch (WaterPumpException e) {
+                record(Operation.RELEASE, Outcome.FAILED, beginNanos, null);
+                throw e;
+            } catch (RuntimeException e) {
+                record(Operation.RELEASE, Outcome.CRASHED, beginNanos, null);
+                throw e;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Operation;
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Outcome;
+
+/**
+ * Captured cycles stored in a compact binary file, so a capture taken in production can be replayed elsewhere.
+ * Enums are written as ordinals, with {@code -1} for absent values.
+ */
+public class WorkloadRecording {
+
+    private static final int MAGIC = 0x574B4C44;
+    private static final int VERSION = 1;
+    private static final int MAX_CALLS = Byte.MAX_VALUE;
+    private static final Material[] MATERIALS = Material.values();
+    private static final Program[] PROGRAMS = Program.values();
+    private static final Result[] RESULTS = Result.values();
+    private static final ErrorCode[] ERROR_CODES = ErrorCode.values();
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final Path path;
+
+    public WorkloadRecording(Path path) {
+        this.path = requireNonNull(path, "path == null");
+    }
+
+    public void save(List<CapturedCycle> cycles) throws IOException {
+        requireNonNull(cycles, "cycles == null");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(cycles.size());
+            for (CapturedCycle cycle : cycles) {
+                writeCycle(output, cycle);
+            }
+        }
+    }
+
+    public List<CapturedCycle> load() throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("unsupported workload recording format: " + path);
+            }
+            int count = input.readInt();
+            if (count < 0) {
+                throw new IOException("corrupted workload recording: " + path);
+            }
+            List<CapturedCycle> cycles = new ArrayList<>(Math.min(count, WorkloadCapture.DEFAULT_CAPACITY));
+            for (int i = 0; i < count; i++) {
+                cycles.add(readCycle(input));
+            }
+            return cycles;
+        } catch (EOFException e) {
+            throw new IOException("truncated workload recording: " + path, e);
+        }
+    }
+
+    private void writeCycle(DataOutputStream output, CapturedCycle cycle) throws IOException {
+        List<CapturedCall> calls = cycle.getCalls();
+        if (calls.size() > MAX_CALLS) {
+            throw new IllegalArgumentException("cycle has more than " + MAX_CALLS + " calls");
+        }
+        LaundryBatch laundryBatch = cycle.getLaundryBatch();
+        ProgramConfiguration programConfiguration = cycle.getProgramConfiguration();
+        LaundryStatus laundryStatus = cycle.getLaundryStatus();
+        output.writeLong(cycle.getOffsetNanos());
+        output.writeLong(cycle.getDurationNanos());
+        output.writeDouble(laundryBatch.getWeightKg());
+        output.writeByte(ordinal(laundryBatch.getMaterialType()));
+        output.writeByte(ordinal(programConfiguration.getProgram()));
+        output.writeBoolean(programConfiguration.isSpin());
+        output.writeByte(ordinal(laundryStatus.getResult()));
+        output.writeByte(ordinal(laundryStatus.getRunnedProgram()));
+        output.writeByte(ordinal(laundryStatus.getErrorCode()));
+        output.writeByte(calls.size());
+        for (CapturedCall call : calls) {
+            output.writeByte(ordinal(call.getOperation()));
+            output.writeByte(ordinal(call.getOutcome()));
+            output.writeLong(call.getDurationNanos());
+            output.writeDouble(call.getDirtDegree() == null ? Double.NaN : call.getDirtDegree().getValue());
+        }
+    }
+
+    private CapturedCycle readCycle(DataInputStream input) throws IOException {
+        long offsetNanos = input.readLong();
+        long durationNanos = input.readLong();
+        LaundryBatch laundryBatch = LaundryBatch.builder()
+                                                .withWeightKg(input.readDouble())
+                                                .withMaterialType(required(MATERIALS, input.readByte()))
+                                                .build();
+        ProgramConfiguration programConfiguration = ProgramConfiguration.builder()
+                                                                        .withProgram(required(PROGRAMS, input.readByte()))
+                                                                        .withSpin(input.readBoolean())
+                                                                        .build();
+        LaundryStatus laundryStatus = LaundryStatus.builder()
+                                                   .withResult(optional(RESULTS, input.readByte()))
+                                                   .withRunnedProgram(optional(PROGRAMS, input.readByte()))
+                                                   .withErrorCode(optional(ERROR_CODES, input.readByte()))
+                                                   .build();
+        int callCount = input.readByte();
+        if (callCount < 0) {
+            throw new IOException("corrupted workload recording: " + path);
+        }
+        List<CapturedCall> calls = new ArrayList<>(callCount);
+        for (int i = 0; i < callCount; i++) {
+            Operation operation = required(OPERATIONS, input.readByte());
+            Outcome outcome = required(OUTCOMES, input.readByte());
+            long callDurationNanos = input.readLong();
+            double dirtDegree = input.readDouble();
+            if (callDurationNanos < 0) {
+                throw new IOException("corrupted workload recording: " + path);
+            }
+            calls.add(new CapturedCall(operation, outcome, callDurationNanos, percentage(dirtDegree)));
+        }
+        return new CapturedCycle(offsetNanos, durationNanos, laundryBatch, programConfiguration, laundryStatus, calls);
+    }
+
+    private Percentage percentage(double value) throws IOException {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        if (value < 0.0d || value > 100.0d) {
+            throw new IOException("corrupted workload recording: " + path);
+        }
+        return new Percentage(value);
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value == null ? -1 : value.ordinal();
+    }
+
+    private <E> E optional(E[] values, int ordinal) throws IOException {
+        return ordinal == -1 ? null : required(values, ordinal);
+    }
+
+    private <E> E required(E[] values, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("corrupted workload recording: " + path);
+        }
+        return values[ordinal];
+    }
+
+}
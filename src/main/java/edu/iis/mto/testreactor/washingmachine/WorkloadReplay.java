@@ -0,0 +1,200 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Operation;
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Outcome;
+
+/**
+ * Re-executes captured cycles against stub collaborators that reproduce the recorded results and timings.
+ * Arrivals and collaborator durations are divided by the speed; latency is measured from the scheduled arrival,
+ * so time spent waiting for a free worker is included, while service time runs from the moment a worker picks the
+ * cycle up. With {@link #AS_FAST_AS_POSSIBLE} every cycle is scheduled at once, so latency grows with queue position
+ * and only service time and throughput describe the machine.
+ */
+public class WorkloadReplay {
+
+    public static final double AS_FAST_AS_POSSIBLE = Double.POSITIVE_INFINITY;
+
+    private final double speed;
+    private final int concurrency;
+
+    private WorkloadReplay(Builder builder) {
+        if (!(builder.speed > 0.0d)) {
+            throw new IllegalArgumentException("speed must be positive");
+        }
+        if (builder.concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.speed = builder.speed;
+        this.concurrency = builder.concurrency;
+    }
+
+    public ReplayReport replay(List<CapturedCycle> capturedCycles) throws InterruptedException {
+        List<CapturedCycle> cycles = new ArrayList<>(requireNonNull(capturedCycles, "capturedCycles == null"));
+        cycles.sort(CapturedCycle.BY_ARRIVAL);
+        long[] latencies = new long[cycles.size()];
+        long[] serviceTimes = new long[cycles.size()];
+        AtomicInteger divergedCycles = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long firstOffsetNanos = cycles.isEmpty() ? 0 : cycles.get(0).getOffsetNanos();
+        long beginNanos = System.nanoTime();
+        try {
+            for (int i = 0; i < cycles.size(); i++) {
+                CapturedCycle cycle = cycles.get(i);
+                long scheduledNanos = beginNanos + scale(cycle.getOffsetNanos() - firstOffsetNanos);
+                parkUntil(scheduledNanos);
+                int index = i;
+                executor.execute(() -> {
+                    long startedNanos = System.nanoTime();
+                    boolean reproduced = false;
+                    try {
+                        reproduced = replayCycle(cycle);
+                    } finally {
+                        long finishedNanos = System.nanoTime();
+                        if (!reproduced) {
+                            divergedCycles.incrementAndGet();
+                        }
+                        latencies[index] = finishedNanos - scheduledNanos;
+                        serviceTimes[index] = finishedNanos - startedNanos;
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        return new ReplayReport(System.nanoTime() - beginNanos, latencies, serviceTimes, divergedCycles.get());
+    }
+
+    private boolean replayCycle(CapturedCycle cycle) {
+        ReplayingCollaborators collaborators = new ReplayingCollaborators(cycle.getCalls());
+        WashingMachine washingMachine = new WashingMachine(collaborators, collaborators, collaborators);
+        LaundryStatus laundryStatus = washingMachine.start(cycle.getLaundryBatch(), cycle.getProgramConfiguration());
+        return !collaborators.diverged && !collaborators.calls.hasNext() && laundryStatus.equals(cycle.getLaundryStatus());
+    }
+
+    private long scale(long nanos) {
+        return (long) (nanos / speed);
+    }
+
+    private static void parkUntil(long deadlineNanos) throws InterruptedException {
+        long remainingNanos;
+        while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private double speed = 1.0d;
+        private int concurrency = 1;
+
+        private Builder() {}
+
+        public Builder withSpeed(double speed) {
+            this.speed = speed;
+            return this;
+        }
+
+        public Builder withConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public WorkloadReplay build() {
+            return new WorkloadReplay(this);
+        }
+    }
+
+    private final class ReplayingCollaborators implements DirtDetector, Engine, WaterPump {
+
+        private final Iterator<CapturedCall> calls;
+        private boolean diverged;
+
+        private ReplayingCollaborators(List<CapturedCall> calls) {
+            this.calls = calls.iterator();
+        }
+
+        @Override
+        public Percentage detectDirtDegree(LaundryBatch laundryBatch) {
+            CapturedCall call = next(Operation.DETECT_DIRT);
+            if (call.getOutcome() != Outcome.COMPLETED) {
+                throw new IllegalStateException("captured dirt detection failure");
+            }
+            return call.getDirtDegree();
+        }
+
+        @Override
+        public void runWashing(int timeInMinutes) throws EngineException {
+            engineCall(Operation.RUN_WASHING);
+        }
+
+        @Override
+        public void spin() throws EngineException {
+            engineCall(Operation.SPIN);
+        }
+
+        @Override
+        public void pour(double weigth) throws WaterPumpException {
+            waterPumpCall(Operation.POUR);
+        }
+
+        @Override
+        public void release() throws WaterPumpException {
+            waterPumpCall(Operation.RELEASE);
+        }
+
+        private void engineCall(Operation operation) throws EngineException {
+            if (next(operation).getOutcome() == Outcome.FAILED) {
+                throw new EngineException();
+            }
+        }
+
+        private void waterPumpCall(Operation operation) throws WaterPumpException {
+            if (next(operation).getOutcome() == Outcome.FAILED) {
+                throw new WaterPumpException();
+            }
+        }
+
+        private CapturedCall next(Operation operation) {
+            if (!calls.hasNext()) {
+                diverged = true;
+                throw new IllegalStateException("unexpected " + operation + " call");
+            }
+            CapturedCall call = calls.next();
+            if (call.getOperation() != operation) {
+                diverged = true;
+                throw new IllegalStateException("expected " + call.getOperation() + " call but was " + operation);
+            }
+            try {
+                parkUntil(System.nanoTime() + scale(call.getDurationNanos()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("replay interrupted during " + operation + " call");
+            }
+            if (call.getOutcome() == Outcome.CRASHED) {
+                throw new IllegalStateException("captured " + operation + " crash");
+            }
+            return call;
+        }
+    }
+
+}
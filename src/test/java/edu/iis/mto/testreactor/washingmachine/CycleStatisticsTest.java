@@ -0,0 +1,163 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CycleStatisticsTest {
+
+    private MutableClock clock;
+    private CycleStatistics statistics;
+
+    private void record(ErrorCode errorCode, Program program, Material material) {
+        LaundryBatch laundryBatch = LaundryBatch.builder()
+                .withWeightKg(3)
+                .withMaterialType(material)
+                .build();
+        ProgramConfiguration programConfiguration = ProgramConfiguration.builder()
+                .withProgram(Program.AUTODETECT)
+                .build();
+        LaundryStatus laundryStatus = LaundryStatus.builder()
+                .withErrorCode(errorCode)
+                .withResult(errorCode == ErrorCode.NO_ERROR ? Result.SUCCESS : Result.FAILURE)
+                .withRunnedProgram(program)
+                .build();
+        statistics.cycleFinished(laundryBatch, programConfiguration, laundryStatus);
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2020-05-01T10:00:00Z"));
+        statistics = new CycleStatistics(clock);
+    }
+
+    @Test
+    void countsOutcomesWithinWindowTest() {
+        record(ErrorCode.NO_ERROR, Program.LONG, Material.COTTON);
+        record(ErrorCode.ENGINE_FAILURE, Program.MEDIUM, Material.COTTON);
+        record(ErrorCode.TOO_HEAVY, null, Material.WOOL);
+        record(ErrorCode.TOO_HEAVY, null, Material.JEANS);
+
+        CycleStatistics.Snapshot snapshot = statistics.snapshot(Duration.ofMinutes(1));
+
+        assertEquals(4, snapshot.total());
+        assertEquals(1, snapshot.count(ErrorCode.ENGINE_FAILURE));
+        assertEquals(0.25d, snapshot.rate(ErrorCode.ENGINE_FAILURE));
+        assertEquals(1, snapshot.count(Program.LONG));
+        assertEquals(1, snapshot.count(Program.MEDIUM));
+        assertEquals(0, snapshot.count(Program.AUTODETECT));
+        assertEquals(1, snapshot.overweight(Material.WOOL));
+        assertEquals(1, snapshot.overweight(Material.JEANS));
+        assertEquals(0, snapshot.overweight(Material.COTTON));
+    }
+
+    @Test
+    void outcomesOlderThanWindowAreExcludedTest() {
+        record(ErrorCode.WATER_PUMP_FAILURE, Program.SHORT, Material.COTTON);
+        clock.advance(Duration.ofMinutes(2));
+        record(ErrorCode.NO_ERROR, Program.SHORT, Material.COTTON);
+
+        assertEquals(1, statistics.snapshot(Duration.ofMinutes(1)).total());
+        assertEquals(2, statistics.snapshot(Duration.ofMinutes(5)).total());
+        assertEquals(0, statistics.snapshot(Duration.ofMinutes(1)).count(ErrorCode.WATER_PUMP_FAILURE));
+    }
+
+    @Test
+    void bucketIsReusedAfterFullRotationTest() {
+        record(ErrorCode.UNKNOWN_ERROR, Program.SHORT, Material.COTTON);
+        clock.advance(CycleStatistics.MAX_WINDOW);
+        record(ErrorCode.NO_ERROR, Program.SHORT, Material.COTTON);
+
+        CycleStatistics.Snapshot snapshot = statistics.snapshot(CycleStatistics.MAX_WINDOW);
+
+        assertEquals(1, snapshot.total());
+        assertEquals(0, snapshot.count(ErrorCode.UNKNOWN_ERROR));
+    }
+
+    @Test
+    void concurrentUpdatesAcrossSecondsAreNotLostTest() throws InterruptedException {
+        int threads = 4;
+        int cyclesPerThread = 20_000;
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                ready.countDown();
+                for (int j = 0; j < cyclesPerThread; j++) {
+                    record(ErrorCode.NO_ERROR, Program.SHORT, Material.COTTON);
+                }
+                done.countDown();
+            }).start();
+        }
+        ready.await();
+        for (int second = 0; second < 600 && done.getCount() > 0; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            statistics.snapshot(Duration.ofMinutes(5));
+        }
+        done.await();
+
+        CycleStatistics.Snapshot snapshot = statistics.snapshot(CycleStatistics.MAX_WINDOW);
+
+        assertEquals(threads * cyclesPerThread, snapshot.total());
+        assertEquals(threads * cyclesPerThread, snapshot.count(Program.SHORT));
+        assertEquals(0, statistics.getDroppedUpdates());
+    }
+
+    @Test
+    void outcomesBehindReusedBucketAreCountedAsDroppedTest() {
+        clock.advance(CycleStatistics.MAX_WINDOW);
+        record(ErrorCode.NO_ERROR, Program.SHORT, Material.COTTON);
+        clock.advance(CycleStatistics.MAX_WINDOW.negated());
+        record(ErrorCode.NO_ERROR, Program.SHORT, Material.COTTON);
+
+        assertEquals(1, statistics.getDroppedUpdates());
+    }
+
+    @Test
+    void emptyWindowHasZeroRateTest() {
+        assertEquals(0.0d, statistics.snapshot(Duration.ofMinutes(60)).rate(ErrorCode.ENGINE_FAILURE));
+    }
+
+    @Test
+    void windowLongerThanMaximumIsRejectedTest() {
+        assertThrows(IllegalArgumentException.class, () -> statistics.snapshot(Duration.ofMinutes(61)));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+
+class LaundryCheckpointTest {
+
+    private static final int MILLION = 1_000_000;
+    private static final Duration RESTORE_TIME_LIMIT = Duration.ofSeconds(30);
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private LaundryCheckpoint checkpoint;
+
+    private LaundryJob generateLaundryJob(long id, double weight, Material material, Program program, boolean spin) {
+        return LaundryJob.builder()
+                .withId(id)
+                .withLaundryBatch(LaundryBatch.builder()
+                        .withWeightKg(weight)
+                        .withMaterialType(material)
+                        .build())
+                .withProgramConfiguration(ProgramConfiguration.builder()
+                        .withProgram(program)
+                        .withSpin(spin)
+                        .build())
+                .build();
+    }
+
+    private List<LaundryJob> generateLaundryJobs(int count) {
+        Material[] materials = Material.values();
+        Program[] programs = Program.values();
+        List<LaundryJob> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jobs.add(generateLaundryJob(i, i % 80 / 10.0d, materials[i % materials.length], programs[i % programs.length], i % 2 == 0));
+        }
+        return jobs;
+    }
+
+    private void truncateBy(int bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - bytes);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("laundry.checkpoint");
+        checkpoint = new LaundryCheckpoint(path);
+    }
+
+    @Test
+    void missingCheckpointRestoresNothingTest() throws IOException {
+        assertTrue(checkpoint.restore().isEmpty());
+    }
+
+    @Test
+    void writtenJobsAreRestoredInOrderTest() throws IOException {
+        List<LaundryJob> jobs = generateLaundryJobs(100);
+
+        checkpoint.write(jobs);
+
+        assertEquals(jobs, checkpoint.restore());
+    }
+
+    @Test
+    void writeReplacesPreviousCheckpointTest() throws IOException {
+        checkpoint.write(generateLaundryJobs(10));
+        List<LaundryJob> jobs = List.of(generateLaundryJob(1, 2.5d, Material.WOOL, Program.SHORT, false));
+
+        checkpoint.write(jobs);
+
+        assertEquals(jobs, checkpoint.restore());
+    }
+
+    @Test
+    void failedWriteKeepsPreviousCheckpointAndRemovesTemporaryFileTest() throws IOException {
+        List<LaundryJob> jobs = generateLaundryJobs(3);
+        checkpoint.write(jobs);
+
+        assertThrows(NullPointerException.class, () -> checkpoint.write(Arrays.asList(jobs.get(0), null)));
+
+        assertEquals(jobs, checkpoint.restore());
+        assertFalse(Files.exists(directory.resolve("laundry.checkpoint.tmp")));
+    }
+
+    @Test
+    void appendedJobsFollowPreviousOnesTest() throws IOException {
+        LaundryJob first = generateLaundryJob(1, 1, Material.COTTON, Program.LONG, true);
+        LaundryJob second = generateLaundryJob(2, 3, Material.JEANS, Program.AUTODETECT, false);
+
+        checkpoint.append(List.of(first), List.of());
+        checkpoint.append(List.of(second), List.of());
+
+        assertEquals(List.of(first, second), checkpoint.restore());
+    }
+
+    @Test
+    void dequeuedJobsAreNotRestoredTest() throws IOException {
+        List<LaundryJob> jobs = generateLaundryJobs(3);
+        LaundryJob queued = generateLaundryJob(3, 2, Material.DELICATE, Program.SHORT, true);
+        checkpoint.write(jobs);
+
+        checkpoint.append(List.of(queued), List.of(jobs.get(0).getId(), jobs.get(2).getId()));
+
+        assertEquals(List.of(jobs.get(1), queued), checkpoint.restore());
+    }
+
+    @Test
+    void jobQueuedAndDequeuedWithinOneAppendIsNotRestoredTest() throws IOException {
+        LaundryJob job = generateLaundryJob(7, 2, Material.WOOL, Program.MEDIUM, false);
+        checkpoint.write(List.of());
+
+        checkpoint.append(List.of(job), List.of(job.getId()));
+
+        assertTrue(checkpoint.restore().isEmpty());
+    }
+
+    @Test
+    void partiallyWrittenAppendIsIgnoredTest() throws IOException {
+        List<LaundryJob> jobs = generateLaundryJobs(3);
+        checkpoint.write(jobs);
+        checkpoint.append(List.of(generateLaundryJob(3, 1, Material.COTTON, Program.SHORT, true)), List.of());
+        truncateBy(1);
+
+        assertEquals(jobs, checkpoint.restore());
+    }
+
+    @Test
+    void appendWithLostRemovalRecordIsIgnoredAsAWholeTest() throws IOException {
+        List<LaundryJob> jobs = generateLaundryJobs(2);
+        checkpoint.write(jobs);
+        checkpoint.append(List.of(generateLaundryJob(2, 1, Material.COTTON, Program.SHORT, true)), List.of(jobs.get(0).getId()));
+        truncateBy(20);
+
+        assertEquals(jobs, checkpoint.restore());
+    }
+
+    @Test
+    void zeroFilledTailIsIgnoredAndTruncatedByNextAppendTest() throws IOException {
+        List<LaundryJob> jobs = generateLaundryJobs(2);
+        LaundryJob queued = generateLaundryJob(2, 1, Material.COTTON, Program.SHORT, true);
+        checkpoint.write(jobs);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(4096));
+        }
+
+        assertEquals(jobs, checkpoint.restore());
+
+        checkpoint.append(List.of(queued), List.of(jobs.get(0).getId()));
+
+        assertEquals(List.of(jobs.get(1), queued), checkpoint.restore());
+    }
+
+    @Test
+    void blocksLargerThanMappingWindowAreRestoredTest() throws IOException {
+        checkpoint = new LaundryCheckpoint(path, 2);
+        List<LaundryJob> jobs = generateLaundryJobs(5);
+        LaundryJob queued = generateLaundryJob(5, 1, Material.COTTON, Program.SHORT, true);
+        checkpoint.write(jobs);
+        checkpoint.append(List.of(queued), List.of(jobs.get(0).getId(), jobs.get(4).getId()));
+
+        assertEquals(List.of(jobs.get(1), jobs.get(2), jobs.get(3), queued), checkpoint.restore());
+    }
+
+    @Test
+    void unknownFormatIsRejectedTest() throws IOException {
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, checkpoint::restore);
+    }
+
+    @Test
+    void millionQueuedBatchesRestoreTest(TestReporter reporter) throws IOException {
+        List<LaundryJob> jobs = generateLaundryJobs(MILLION);
+        checkpoint.write(jobs);
+
+        long begin = System.nanoTime();
+        List<LaundryJob> restored = checkpoint.restore();
+        Duration restoreTime = Duration.ofNanos(System.nanoTime() - begin);
+        reporter.publishEntry("restoreMillis", String.valueOf(restoreTime.toMillis()));
+
+        assertEquals(MILLION, restored.size());
+        assertEquals(jobs.get(MILLION - 1), restored.get(MILLION - 1));
+        assertTrue(restoreTime.compareTo(RESTORE_TIME_LIMIT) < 0, "restore took " + restoreTime);
+    }
+
+}
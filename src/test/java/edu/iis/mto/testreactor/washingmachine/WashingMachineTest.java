@@ -284,5 +284,30 @@ class WashingMachineTest {
         order.verify(waterPump).release();
     }
 
+    @Test
+    void cycleListenerReceivesStatusTest() {
+        CycleListener cycleListener = Mockito.mock(CycleListener.class);
+        washingMachine = new WashingMachine(dirtDetector, engine, waterPump, cycleListener);
+        LaundryBatch laundryBatch = generateLaundryBatch(10, Material.COTTON);
+        ProgramConfiguration programConfiguration = generateProgramConfiguration(true, Program.SHORT);
+
+        LaundryStatus actualLaundryStatus = washingMachine.start(laundryBatch, programConfiguration);
+
+        Mockito.verify(cycleListener, Mockito.times(1)).cycleFinished(laundryBatch, programConfiguration, actualLaundryStatus);
+    }
+
+    @Test
+    void failingCycleListenerDoesNotChangeStatusTest() {
+        CycleListener cycleListener = Mockito.mock(CycleListener.class);
+        washingMachine = new WashingMachine(dirtDetector, engine, waterPump, cycleListener);
+        LaundryBatch laundryBatch = generateLaundryBatch(5, Material.COTTON);
+        ProgramConfiguration programConfiguration = generateProgramConfiguration(true, Program.SHORT);
+        LaundryStatus expectedLaundryStatus = generateLaundryStatus(ErrorCode.NO_ERROR, Result.SUCCESS, Program.SHORT);
+        Mockito.doThrow(new IllegalStateException()).when(cycleListener).cycleFinished(laundryBatch, programConfiguration, expectedLaundryStatus);
+
+        LaundryStatus actualLaundryStatus = washingMachine.start(laundryBatch, programConfiguration);
+
+        assertEquals(expectedLaundryStatus, actualLaundryStatus);
+    }
 
 }
@@ -0,0 +1,124 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Operation;
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Outcome;
+
+class WorkloadRecordingTest {
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private WorkloadRecording recording;
+
+    private LaundryBatch generateLaundryBatch(int weight, Material material) {
+        return LaundryBatch.builder()
+                .withWeightKg(weight)
+                .withMaterialType(material)
+                .build();
+    }
+
+    private ProgramConfiguration generateProgramConfiguration(boolean spin, Program program) {
+        return ProgramConfiguration.builder()
+                .withSpin(spin)
+                .withProgram(program)
+                .build();
+    }
+
+    private LaundryStatus generateLaundryStatus(Result result, Program runnedProgram, ErrorCode errorCode) {
+        return LaundryStatus.builder()
+                .withResult(result)
+                .withRunnedProgram(runnedProgram)
+                .withErrorCode(errorCode)
+                .build();
+    }
+
+    private List<CapturedCycle> generateCycles() {
+        CapturedCycle autodetected = new CapturedCycle(0, 900, generateLaundryBatch(5, Material.COTTON),
+                generateProgramConfiguration(true, Program.AUTODETECT),
+                generateLaundryStatus(Result.SUCCESS, Program.MEDIUM, ErrorCode.NO_ERROR), List.of(
+                        new CapturedCall(Operation.DETECT_DIRT, Outcome.COMPLETED, 100, new Percentage(42.5d)),
+                        new CapturedCall(Operation.POUR, Outcome.COMPLETED, 200, null),
+                        new CapturedCall(Operation.RUN_WASHING, Outcome.COMPLETED, 300, null),
+                        new CapturedCall(Operation.RELEASE, Outcome.COMPLETED, 200, null),
+                        new CapturedCall(Operation.SPIN, Outcome.COMPLETED, 100, null)));
+        CapturedCycle overweight = new CapturedCycle(1_000, 0, generateLaundryBatch(10, Material.COTTON),
+                generateProgramConfiguration(true, Program.SHORT),
+                generateLaundryStatus(Result.FAILURE, null, ErrorCode.TOO_HEAVY), List.of());
+        CapturedCycle pumpFailure = new CapturedCycle(2_000, 600, generateLaundryBatch(3, Material.JEANS),
+                generateProgramConfiguration(false, Program.LONG),
+                generateLaundryStatus(Result.FAILURE, Program.LONG, ErrorCode.WATER_PUMP_FAILURE), List.of(
+                        new CapturedCall(Operation.POUR, Outcome.COMPLETED, 200, null),
+                        new CapturedCall(Operation.RUN_WASHING, Outcome.COMPLETED, 300, null),
+                        new CapturedCall(Operation.RELEASE, Outcome.FAILED, 100, null)));
+        return List.of(autodetected, overweight, pumpFailure);
+    }
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("workload.capture");
+        recording = new WorkloadRecording(path);
+    }
+
+    @Test
+    void savedCaptureIsLoadedUnchangedTest() throws IOException {
+        List<CapturedCycle> cycles = generateCycles();
+
+        recording.save(cycles);
+
+        assertEquals(cycles, recording.load());
+    }
+
+    @Test
+    void loadedCaptureReplaysWithoutDivergenceTest() throws IOException, InterruptedException {
+        recording.save(generateCycles());
+
+        ReplayReport report = WorkloadReplay.builder()
+                .withSpeed(WorkloadReplay.AS_FAST_AS_POSSIBLE)
+                .build()
+                .replay(recording.load());
+
+        assertEquals(3, report.getCycles());
+        assertEquals(0, report.getDivergedCycles());
+    }
+
+    @Test
+    void emptyCaptureIsLoadedEmptyTest() throws IOException {
+        recording.save(List.of());
+
+        assertTrue(recording.load().isEmpty());
+    }
+
+    @Test
+    void truncatedRecordingIsRejectedTest() throws IOException {
+        recording.save(generateCycles());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertThrows(IOException.class, recording::load);
+    }
+
+    @Test
+    void unknownFormatIsRejectedTest() throws IOException {
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertThrows(IOException.class, recording::load);
+    }
+
+}
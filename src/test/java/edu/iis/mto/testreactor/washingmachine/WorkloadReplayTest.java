@@ -0,0 +1,242 @@
+package edu.iis.mto.testreactor.washingmachine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Operation;
+import edu.iis.mto.testreactor.washingmachine.CapturedCall.Outcome;
+
+class WorkloadReplayTest {
+
+    private DirtDetector dirtDetector;
+    private Engine engine;
+    private WaterPump waterPump;
+
+    private WorkloadCapture capture;
+    private WashingMachine washingMachine;
+
+    private LaundryBatch generateLaundryBatch(int weight, Material material) {
+        return LaundryBatch.builder()
+                .withWeightKg(weight)
+                .withMaterialType(material)
+                .build();
+    }
+
+    private ProgramConfiguration generateProgramConfiguration(boolean spin, Program program) {
+        return ProgramConfiguration.builder()
+                .withSpin(spin)
+                .withProgram(program)
+                .build();
+    }
+
+    private CapturedCycle generateCycle(long offsetMillis, Program program, long washingMillis) {
+        LaundryStatus laundryStatus = LaundryStatus.builder()
+                .withResult(Result.SUCCESS)
+                .withRunnedProgram(program)
+                .withErrorCode(ErrorCode.NO_ERROR)
+                .build();
+        List<CapturedCall> calls = List.of(
+                new CapturedCall(Operation.POUR, Outcome.COMPLETED, 0, null),
+                new CapturedCall(Operation.RUN_WASHING, Outcome.COMPLETED, Duration.ofMillis(washingMillis).toNanos(), null),
+                new CapturedCall(Operation.RELEASE, Outcome.COMPLETED, 0, null));
+        return new CapturedCycle(Duration.ofMillis(offsetMillis).toNanos(), Duration.ofMillis(washingMillis).toNanos(),
+                generateLaundryBatch(5, Material.COTTON), generateProgramConfiguration(false, program), laundryStatus, calls);
+    }
+
+    private List<CapturedCycle> captureWorkload() throws EngineException {
+        Mockito.when(dirtDetector.detectDirtDegree(Mockito.any())).thenReturn(new Percentage(70));
+        washingMachine.start(generateLaundryBatch(5, Material.COTTON), generateProgramConfiguration(true, Program.AUTODETECT));
+        washingMachine.start(generateLaundryBatch(10, Material.COTTON), generateProgramConfiguration(true, Program.SHORT));
+        Mockito.doThrow(new EngineException()).when(engine).spin();
+        washingMachine.start(generateLaundryBatch(3, Material.JEANS), generateProgramConfiguration(true, Program.MEDIUM));
+        return capture.cycles();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dirtDetector = Mockito.mock(DirtDetector.class);
+        engine = Mockito.mock(Engine.class);
+        waterPump = Mockito.mock(WaterPump.class);
+        capture = new WorkloadCapture();
+        washingMachine = capture.washingMachine(dirtDetector, engine, waterPump);
+    }
+
+    @Test
+    void captureRecordsCallsAndCollaboratorCallsTest() throws EngineException {
+        List<CapturedCycle> cycles = captureWorkload();
+
+        assertEquals(3, cycles.size());
+        assertEquals(Program.LONG, cycles.get(0).getLaundryStatus().getRunnedProgram());
+        assertEquals(new Percentage(70), cycles.get(0).getCalls().get(0).getDirtDegree());
+        assertEquals(Operation.DETECT_DIRT, cycles.get(0).getCalls().get(0).getOperation());
+        assertEquals(5, cycles.get(0).getCalls().size());
+        assertTrue(cycles.get(1).getCalls().isEmpty());
+        assertEquals(ErrorCode.TOO_HEAVY, cycles.get(1).getLaundryStatus().getErrorCode());
+        CapturedCall spin = cycles.get(2).getCalls().get(3);
+        assertEquals(Operation.SPIN, spin.getOperation());
+        assertEquals(Outcome.FAILED, spin.getOutcome());
+        assertTrue(cycles.get(0).getOffsetNanos() <= cycles.get(2).getOffsetNanos());
+    }
+
+    @Test
+    void captureKeepsAtMostCapacityCyclesTest() {
+        capture = new WorkloadCapture(2);
+        washingMachine = capture.washingMachine(dirtDetector, engine, waterPump);
+
+        for (int i = 0; i < 5; i++) {
+            washingMachine.start(generateLaundryBatch(5, Material.COTTON), generateProgramConfiguration(true, Program.SHORT));
+        }
+
+        assertEquals(2, capture.cycles().size());
+        assertEquals(3, capture.getDroppedCycles());
+    }
+
+    @Test
+    void overlappingCyclesAreCapturedInArrivalOrderTest() throws EngineException, InterruptedException {
+        Mockito.doAnswer(invocation -> {
+            Thread.sleep(invocation.<Integer>getArgument(0) == Program.LONG.getTimeInMinutes() ? 300 : 10);
+            return null;
+        }).when(engine).runWashing(Mockito.anyInt());
+        Thread longCycle = new Thread(() -> washingMachine.start(generateLaundryBatch(5, Material.COTTON),
+                generateProgramConfiguration(false, Program.LONG)));
+        longCycle.start();
+        Thread.sleep(50);
+        washingMachine.start(generateLaundryBatch(5, Material.COTTON), generateProgramConfiguration(false, Program.SHORT));
+        longCycle.join();
+
+        List<CapturedCycle> cycles = capture.cycles();
+
+        assertEquals(Program.LONG, cycles.get(0).getProgramConfiguration().getProgram());
+        assertEquals(Program.SHORT, cycles.get(1).getProgramConfiguration().getProgram());
+        assertTrue(cycles.get(0).getOffsetNanos() < cycles.get(1).getOffsetNanos());
+    }
+
+    @Test
+    void overlappingCyclesAreReplayedFromEarliestArrivalTest() throws InterruptedException {
+        CapturedCycle longCycle = generateCycle(0, Program.LONG, 200);
+        CapturedCycle shortCycle = generateCycle(100, Program.SHORT, 10);
+        WorkloadReplay replay = WorkloadReplay.builder()
+                .withConcurrency(2)
+                .build();
+
+        ReplayReport report = replay.replay(List.of(shortCycle, longCycle));
+
+        assertEquals(0, report.getDivergedCycles());
+        assertTrue(report.latencyPercentile(100).compareTo(Duration.ofMillis(270)) < 0, report.toString());
+    }
+
+    @Test
+    void replayReproducesCapturedStatusesTest() throws EngineException, InterruptedException {
+        List<CapturedCycle> cycles = captureWorkload();
+        WorkloadReplay replay = WorkloadReplay.builder()
+                .withSpeed(WorkloadReplay.AS_FAST_AS_POSSIBLE)
+                .withConcurrency(2)
+                .build();
+
+        ReplayReport report = replay.replay(cycles);
+
+        assertEquals(3, report.getCycles());
+        assertEquals(0, report.getDivergedCycles());
+        assertTrue(report.getThroughputPerSecond() > 0);
+    }
+
+    @Test
+    void serviceTimeExcludesQueueingOfSimultaneousArrivalsTest() throws InterruptedException {
+        List<CapturedCycle> cycles = Collections.nCopies(5, generateCycle(0, Program.SHORT, 50));
+
+        ReplayReport report = WorkloadReplay.builder().build().replay(cycles);
+
+        assertEquals(0, report.getDivergedCycles());
+        assertTrue(report.latencyPercentile(100).compareTo(Duration.ofMillis(200)) >= 0, report.toString());
+        assertTrue(report.servicePercentile(100).compareTo(Duration.ofMillis(150)) < 0, report.toString());
+        assertTrue(report.servicePercentile(50).compareTo(report.latencyPercentile(100)) < 0, report.toString());
+    }
+
+    @Test
+    void replayDetectsDivergenceTest() throws InterruptedException {
+        CapturedCycle cycle = new CapturedCycle(0, 0, generateLaundryBatch(5, Material.COTTON),
+                generateProgramConfiguration(false, Program.SHORT), LaundryStatus.builder()
+                        .withResult(Result.SUCCESS)
+                        .withRunnedProgram(Program.SHORT)
+                        .withErrorCode(ErrorCode.NO_ERROR)
+                        .build(),
+                Collections.singletonList(new CapturedCall(Operation.SPIN, Outcome.COMPLETED, 0, null)));
+
+        ReplayReport report = WorkloadReplay.builder().build().replay(List.of(cycle));
+
+        assertEquals(1, report.getDivergedCycles());
+    }
+
+    @Test
+    void cycleFailingDuringReplayIsCountedAsDivergedTest() throws InterruptedException {
+        CapturedCycle captured = generateCycle(0, Program.SHORT, 10);
+        CapturedCycle failing = new CapturedCycle(0, 0, captured.getLaundryBatch(), captured.getProgramConfiguration(),
+                captured.getLaundryStatus(), captured.getCalls()) {
+
+            @Override
+            public List<CapturedCall> getCalls() {
+                throw new AssertionError("unreadable captured calls");
+            }
+        };
+
+        ReplayReport report = WorkloadReplay.builder().build().replay(List.of(failing, captured));
+
+        assertEquals(2, report.getCycles());
+        assertEquals(1, report.getDivergedCycles());
+        assertTrue(report.latencyPercentile(50).compareTo(Duration.ZERO) > 0, report.toString());
+    }
+
+    @Test
+    void replayScalesCapturedTimingTest() throws InterruptedException {
+        List<CapturedCycle> cycles = List.of(generateCycle(0, Program.SHORT, 100), generateCycle(100, Program.MEDIUM, 100));
+
+        ReplayReport realTime = WorkloadReplay.builder().build().replay(cycles);
+        ReplayReport accelerated = WorkloadReplay.builder().withSpeed(10).build().replay(cycles);
+
+        assertEquals(0, realTime.getDivergedCycles());
+        assertEquals(0, accelerated.getDivergedCycles());
+        assertTrue(realTime.getElapsed().compareTo(Duration.ofMillis(200)) >= 0, realTime.toString());
+        assertTrue(realTime.latencyPercentile(50).compareTo(Duration.ofMillis(100)) >= 0, realTime.toString());
+        assertTrue(accelerated.getElapsed().compareTo(Duration.ofMillis(20)) >= 0, accelerated.toString());
+        assertTrue(accelerated.getElapsed().compareTo(realTime.getElapsed()) < 0);
+        assertTrue(accelerated.latencyPercentile(100).compareTo(realTime.latencyPercentile(50)) < 0);
+    }
+
+    @Test
+    void interruptedReplayStopsWaitingTest() throws InterruptedException {
+        List<CapturedCycle> cycles = List.of(generateCycle(0, Program.LONG, 10_000), generateCycle(10_000, Program.SHORT, 10));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread replayThread = new Thread(() -> {
+            try {
+                WorkloadReplay.builder().build().replay(cycles);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        replayThread.start();
+        Thread.sleep(100);
+
+        replayThread.interrupt();
+        replayThread.join(2_000);
+
+        assertFalse(replayThread.isAlive());
+        assertTrue(failure.get() instanceof InterruptedException);
+    }
+
+    @Test
+    void nonPositiveSpeedIsRejectedTest() {
+        assertThrows(IllegalArgumentException.class, () -> WorkloadReplay.builder().withSpeed(0).build());
+    }
+
+}